@@ -16,6 +16,12 @@ public interface FiarService {
     @Tool(description = "Makes a move in the game with the given game id for the specified player and column. The player must be the current player.")
     public Game makeMove(UUID gameId, String player, int column);
 
+    @Tool(description = "Reverts the last move in the game with the given game id and returns the game as it was before that move.")
+    public Game undoMove(UUID gameId);
+
+    @Tool(description = "Returns the history of the game with the given game id, one entry per move starting with the empty board.")
+    public List<Game> getGameHistory(UUID gameId);
+
     @Tool(description = "Neutral method to check for a given board if a player has won. It does not change the game state.")
     public GameStatus checkWin(int playerNumber, int[][] board);
 
@@ -2,27 +2,34 @@ package com.microsoft.germany.csu.mcp_fiar.service.api;
 
 import java.util.UUID;
 
-public class Game {
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
-    private GameStatus status;
-    private String playerTwo;
-    private UUID gameId;
-    private int[][] board;
-    private String playerOne;
+/**
+ * Immutable snapshot of a game. Every move produces a new version that shares
+ * all untouched columns with its predecessor and keeps a link to it, so older
+ * positions stay reachable without copying the board.
+ */
+public final class Game {
 
-    private String currentPlayer = null;
+    private final GameStatus status;
+    private final String playerTwo;
+    private final UUID gameId;
+    private final String playerOne;
+    private final String currentPlayer;
+
+    // the board is stored column by column so a move only has to copy one column
+    private final int rows;
+    private final int[][] columns;
+
+    private final Game previous;
+    private final int moveNumber;
 
     public Game(String playerOne, String playerTwo, int x, int y) {
         this.playerOne = playerOne;
         this.playerTwo = playerTwo;
         this.gameId = UUID.randomUUID();
-        this.board = new int[x][y];
-
-        for (int i = 0; i < x; i++) {
-            for (int j = 0; j < y; j++) {
-                this.board[i][j] = 0; // Initialize the board with zeros
-            }
-        }
+        this.rows = x;
+        this.columns = new int[y][x]; // Initialized with zeros
 
         this.status = GameStatus.IN_PROGRESS;
 
@@ -33,46 +40,186 @@ public class Game {
             this.currentPlayer = playerTwo;
         }
 
-    }
+        this.previous = null;
+        this.moveNumber = 0;
 
-    public GameStatus getStatus() {
-        return status;
     }
 
-    public void setStatus(GameStatus status) {
+    private Game(Game previous, int[][] columns, GameStatus status, String currentPlayer) {
+        this.playerOne = previous.playerOne;
+        this.playerTwo = previous.playerTwo;
+        this.gameId = previous.gameId;
+        this.rows = previous.rows;
+        this.columns = columns;
         this.status = status;
+        this.currentPlayer = currentPlayer;
+        this.previous = previous;
+        this.moveNumber = previous.moveNumber + 1;
     }
 
-    public String getPlayerTwo() {
-        return playerTwo;
+    /**
+     * Creates the next version of this game with the player's token dropped into
+     * the given column. Only the touched column is copied, all other columns are
+     * shared with this version. Status and next player are derived from the new
+     * position.
+     *
+     * @param player The name of the player making the move
+     * @param column The column to drop the token into (0-based indexing)
+     * @return The new game version
+     * @throws IllegalArgumentException if the move is invalid for any reason (game
+     *                                  over, wrong player, full column, etc.)
+     */
+    public Game withMove(String player, int column) {
+
+        // check if the game is not over
+        if (status != GameStatus.IN_PROGRESS) {
+            throw new IllegalArgumentException("Game is already over.");
+        }
+
+        // check if the player is valid
+        if (!playerOne.equals(player) && !playerTwo.equals(player)) {
+            throw new IllegalArgumentException("Invalid player for the game.");
+        }
+
+        // check if it is the current player's turn so the player does not make a move
+        // out of turn
+        if (!currentPlayer.equals(player)) {
+            throw new IllegalArgumentException("It's not your turn.");
+        }
+
+        int row = lowestEmptyRow(column);
+        if (row == -1) {
+            throw new IllegalArgumentException("Column is full.");
+        }
+
+        int playerNumber = playerOne.equals(player) ? 1 : 2;
+
+        int[][] nextColumns = columns.clone();
+        nextColumns[column] = columns[column].clone();
+        nextColumns[column][row] = playerNumber;
+
+        GameStatus nextStatus = GameStatus.IN_PROGRESS;
+        String nextPlayer = currentPlayer;
+        if (isWinningMove(nextColumns, row, column, playerNumber)) {
+            nextStatus = playerNumber == 1 ? GameStatus.PLAYER_ONE_WON : GameStatus.PLAYER_TWO_WON;
+        } else if (isFull(nextColumns)) {
+            nextStatus = GameStatus.DRAW;
+        } else {
+            // Switch to the other player as game is still in progress
+            nextPlayer = playerNumber == 1 ? playerTwo : playerOne;
+        }
+
+        return new Game(this, nextColumns, nextStatus, nextPlayer);
+
     }
 
-    public void setPlayerTwo(String playerTwo) {
-        this.playerTwo = playerTwo;
+    // only lines through the placed token can have become a win
+    private boolean isWinningMove(int[][] board, int row, int column, int playerNumber) {
+        int[][] directions = { { 0, 1 }, { 1, 0 }, { 1, 1 }, { -1, 1 } };
+        for (int[] direction : directions) {
+            int count = 1
+                    + countTokens(board, row, column, direction[0], direction[1], playerNumber)
+                    + countTokens(board, row, column, -direction[0], -direction[1], playerNumber);
+            if (count >= 4) {
+                return true;
+            }
+        }
+        return false;
     }
 
-    public UUID getGameId() {
-        return gameId;
+    private int countTokens(int[][] board, int row, int column, int dr, int dc, int playerNumber) {
+        int count = 0;
+        int r = row + dr;
+        int c = column + dc;
+        while (r >= 0 && r < rows && c >= 0 && c < board.length && board[c][r] == playerNumber) {
+            count++;
+            r += dr;
+            c += dc;
+        }
+        return count;
     }
 
-    public void setGameId(UUID gameId) {
-        this.gameId = gameId;
+    // tokens fall to the bottom, so the board is full once every top cell is taken
+    private static boolean isFull(int[][] board) {
+        for (int[] cells : board) {
+            if (cells[0] == 0) {
+                return false;
+            }
+        }
+        return true;
     }
 
-    public int[][] getBoard() {
-        return board;
+    /**
+     * Returns the lowest empty row in the given column
+     *
+     * @param column The column to inspect (0-based indexing)
+     * @return The row index, or -1 if the column is full
+     * @throws IllegalArgumentException if the column index is out of range
+     */
+    public int lowestEmptyRow(int column) {
+
+        if (column < 0 || column >= columns.length) {
+            throw new IllegalArgumentException("Invalid column index.");
+        }
+
+        int[] cells = columns[column];
+        for (int row = rows - 1; row >= 0; row--) {
+            if (cells[row] == 0) {
+                return row;
+            }
+        }
+        return -1;
+
+    }
+
+    public GameStatus getStatus() {
+        return status;
     }
 
-    public void setBoard(int[][] board) {
-        this.board = board;
+    public String getPlayerTwo() {
+        return playerTwo;
+    }
+
+    public UUID getGameId() {
+        return gameId;
+    }
+
+    /**
+     * Returns a copy of the board indexed as {@code board[row][column]}. Changes
+     * to the returned array do not affect this game.
+     */
+    public int[][] getBoard() {
+        int[][] board = new int[rows][columns.length];
+        for (int c = 0; c < columns.length; c++) {
+            for (int r = 0; r < rows; r++) {
+                board[r][c] = columns[c][r];
+            }
+        }
+        return board;
     }
 
     public String getPlayerOne() {
         return playerOne;
     }
 
-    public void setPlayerOne(String playerOne) {
-        this.playerOne = playerOne;
+    public String getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    /**
+     * Returns the number of moves that led to this version, 0 for a new game.
+     */
+    public int getMoveNumber() {
+        return moveNumber;
+    }
+
+    /**
+     * Returns the version before the last move, or null for a new game. Ignored
+     * for serialization so a game does not drag its whole history along.
+     */
+    @JsonIgnore
+    public Game getPrevious() {
+        return previous;
     }
 
     // board to string representation
@@ -93,17 +240,9 @@ public class Game {
                 "status=" + status +
                 ", playerTwo='" + playerTwo + '\'' +
                 ", gameId=" + gameId +
-                ", board=\n" + Game.boardToString(board) +
+                ", board=\n" + Game.boardToString(getBoard()) +
                 ", playerOne='" + playerOne + '\'' +
                 '}';
     }
 
-    public String getCurrentPlayer() {
-        return currentPlayer;
-    }
-
-    public void setCurrentPlayer(String currentPlayer) {
-        this.currentPlayer = currentPlayer;
-    }
-
 }
@@ -1,9 +1,11 @@
 package com.microsoft.germany.csu.mcp_fiar.service.impl;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.stereotype.Service;
@@ -15,7 +17,9 @@ import com.microsoft.germany.csu.mcp_fiar.service.api.GameStatus;
 @Service
 public class FiarServiceImpl implements FiarService {
 
-    static Map<UUID, Game> games = new HashMap<>();
+    // holds the latest immutable version of each game; readers never lock, writers
+    // swap in a new version atomically per game
+    static Map<UUID, Game> games = new ConcurrentHashMap<>();
 
     /**
      * Creates a new game with the specified players and board dimensions
@@ -89,68 +93,63 @@ public class FiarServiceImpl implements FiarService {
             throw new IllegalArgumentException("Game ID and player name cannot be null or empty.");
         }
 
-        Game game = games.get(gameId);
-        if (game == null) {
+        Game updatedGame = games.computeIfPresent(gameId, (id, game) -> game.withMove(player, column));
+        if (updatedGame == null) {
             throw new IllegalArgumentException("Game not found for the provided ID.");
         }
 
-        // check if the game is not over
-        if (game.getStatus() != GameStatus.IN_PROGRESS) {
-            throw new IllegalArgumentException("Game is already over.");
-        }
+        return updatedGame;
 
-        // check if the player is valid
-        if (!game.getPlayerOne().equals(player) && !game.getPlayerTwo().equals(player)) {
-            throw new IllegalArgumentException("Invalid player for the game.");
-        }
+    }
 
-        // check if it is the current player's turn so the player does not make a move
-        // out of turn
-        if (!game.getCurrentPlayer().equals(player)) {
-            throw new IllegalArgumentException("It's not your turn.");
-        }
+    /**
+     * Reverts the last move of the game by restoring its previous version
+     * 
+     * @param gameId The unique identifier of the game
+     * @return The Game object as it was before the last move
+     * @throws IllegalArgumentException if gameId is null, no game exists with that
+     *                                  ID or no move has been made yet
+     */
+    @Tool(description = "Reverts the last move in the game with the given game id and returns the game as it was before that move.")
+    @Override
+    public Game undoMove(UUID gameId) {
 
-        // check if the column is valid and the columns is not full
-        if (column < 0 || column >= game.getBoard()[0].length) {
-            throw new IllegalArgumentException("Invalid column index.");
-        }
-        if (game.getBoard()[0][column] != 0) {
-            throw new IllegalArgumentException("Column is full.");
+        if (gameId == null) {
+            throw new IllegalArgumentException("Game ID cannot be null.");
         }
 
-        // Logic to make a move in the game
-
-        int[][] board = game.getBoard();
-        int rows = board.length;
-        int playerNumber = game.getPlayerOne().equals(player) ? 1 : 2;
-
-        // Find the lowest empty row in the selected column
-        int rowToPlace = -1;
-        for (int row = rows - 1; row >= 0; row--) {
-            if (board[row][column] == 0) {
-                rowToPlace = row;
-                break;
+        Game previousGame = games.computeIfPresent(gameId, (id, game) -> {
+            if (game.getPrevious() == null) {
+                throw new IllegalArgumentException("No moves to undo.");
             }
-        }
-        if (rowToPlace == -1) {
-            throw new IllegalArgumentException("Column is full.");
+            return game.getPrevious();
+        });
+        if (previousGame == null) {
+            throw new IllegalArgumentException("Game not found for the provided ID.");
         }
 
-        // Place the player's token
-        board[rowToPlace][column] = playerNumber;
-
-        // Check for win condition
-        GameStatus winStatus = checkWin(playerNumber, board);
-        if (winStatus == GameStatus.PLAYER_ONE_WON || winStatus == GameStatus.PLAYER_TWO_WON) {
-            game.setStatus(winStatus);
-        } else if (isBoardFull(board)) {
-            game.setStatus(GameStatus.DRAW);
-        } else {
-            // Switch to the other player as game is still in progress
-            game.setCurrentPlayer(game.getPlayerOne().equals(player) ? game.getPlayerTwo() : game.getPlayerOne());
-        }
+        return previousGame;
 
-        return game;
+    }
+
+    /**
+     * Returns all versions of the game from its creation up to the current state
+     * 
+     * @param gameId The unique identifier of the game
+     * @return A list of Game objects, one per move, oldest first
+     * @throws IllegalArgumentException if gameId is null or no game exists with
+     *                                  that ID
+     */
+    @Tool(description = "Returns the history of the game with the given game id, one entry per move starting with the empty board.")
+    @Override
+    public List<Game> getGameHistory(UUID gameId) {
+
+        List<Game> history = new ArrayList<>();
+        for (Game game = getGame(gameId); game != null; game = game.getPrevious()) {
+            history.add(game);
+        }
+        Collections.reverse(history);
+        return history;
 
     }
 
@@ -215,18 +214,6 @@ public class FiarServiceImpl implements FiarService {
         return GameStatus.IN_PROGRESS; // No winning condition met
     }
 
-    private boolean isBoardFull(int[][] board) {
-        for (int[] row : board) {
-            for (int cell : row) {
-                if (cell == 0) {
-                    return false; // Found an empty cell, so the board is not full
-                }
-            }
-        }
-        return true; // No empty cells found, the board is full
-
-    }
-
     /**
      * Returns a list of all games currently stored in the game store
      * 
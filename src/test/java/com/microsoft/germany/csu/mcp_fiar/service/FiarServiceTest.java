@@ -7,6 +7,7 @@ import com.microsoft.germany.csu.mcp_fiar.service.impl.FiarServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -163,13 +164,13 @@ class FiarServiceTest {
         fiarService.makeMove(gameId, bob, 0); // Bob
         fiarService.makeMove(gameId, alice, 2); // Alice
         fiarService.makeMove(gameId, bob, 1); // Bob
-        fiarService.makeMove(gameId, alice, 3); // Alice wins horizontally
+        Game finalGame = fiarService.makeMove(gameId, alice, 3); // Alice wins horizontally
 
-        game.toString();
+        finalGame.toString();
 
         // The game should end with Alice winning
-        assertTrue(game.getStatus() == GameStatus.PLAYER_ONE_WON ||
-                game.getStatus() == GameStatus.PLAYER_TWO_WON);
+        assertTrue(finalGame.getStatus() == GameStatus.PLAYER_ONE_WON ||
+                finalGame.getStatus() == GameStatus.PLAYER_TWO_WON);
 
         // Check that the winning piece is in the correct position
         
@@ -204,10 +205,159 @@ class FiarServiceTest {
     @Test
     void testMakeMove_GameAlreadyOver() {
         Game game = fiarService.createNewGame("Alice", "Bob", 6, 7);
-        game.setStatus(GameStatus.PLAYER_ONE_WON);
         UUID gameId = game.getGameId();
+        String first = game.getCurrentPlayer();
+        String second = first.equals("Alice") ? "Bob" : "Alice";
+
+        // first player wins vertically in column 0
+        for (int i = 0; i < 3; i++) {
+            fiarService.makeMove(gameId, first, 0);
+            fiarService.makeMove(gameId, second, 1);
+        }
+        fiarService.makeMove(gameId, first, 0);
+
+        assertThrows(IllegalArgumentException.class, () -> fiarService.makeMove(gameId, second, 3));
+    }
+
+    @Test
+    void testMakeMove_PreviousSnapshotUnchanged() {
+        Game game = fiarService.createNewGame("Alice", "Bob", 6, 7);
+        UUID gameId = game.getGameId();
+        String currentPlayer = game.getCurrentPlayer();
+
+        Game updatedGame = fiarService.makeMove(gameId, currentPlayer, 3);
+
+        assertNotSame(game, updatedGame);
+        assertSame(game, updatedGame.getPrevious());
+        assertEquals(0, game.getBoard()[5][3]);
+        assertEquals(currentPlayer, game.getCurrentPlayer());
+        assertEquals(1, updatedGame.getMoveNumber());
+        assertSame(updatedGame, fiarService.getGame(gameId));
+    }
+
+    @Test
+    void testGetBoard_ReturnsCopy() {
+        Game game = fiarService.createNewGame("Alice", "Bob", 6, 7);
+
+        game.getBoard()[5][3] = 1;
+
+        assertEquals(0, game.getBoard()[5][3]);
+    }
+
+    @Test
+    void testUndoMove() {
+        Game game = fiarService.createNewGame("Alice", "Bob", 6, 7);
+        UUID gameId = game.getGameId();
+        String currentPlayer = game.getCurrentPlayer();
+
+        fiarService.makeMove(gameId, currentPlayer, 3);
+        Game undoneGame = fiarService.undoMove(gameId);
+
+        assertSame(game, undoneGame);
+        assertSame(game, fiarService.getGame(gameId));
+        assertEquals(currentPlayer, fiarService.getGame(gameId).getCurrentPlayer());
+    }
+
+    @Test
+    void testUndoMove_NoMoves() {
+        Game game = fiarService.createNewGame("Alice", "Bob", 6, 7);
+        UUID gameId = game.getGameId();
+
+        assertThrows(IllegalArgumentException.class, () -> fiarService.undoMove(gameId));
+    }
+
+    @Test
+    void testUndoMove_FinishedGame() {
+        Game game = fiarService.createNewGame("Alice", "Bob", 6, 7);
+        UUID gameId = game.getGameId();
+        String first = game.getCurrentPlayer();
+        String second = first.equals("Alice") ? "Bob" : "Alice";
+
+        for (int i = 0; i < 3; i++) {
+            fiarService.makeMove(gameId, first, 0);
+            fiarService.makeMove(gameId, second, 1);
+        }
+        Game finalGame = fiarService.makeMove(gameId, first, 0);
+        assertNotEquals(GameStatus.IN_PROGRESS, finalGame.getStatus());
+
+        Game undoneGame = fiarService.undoMove(gameId);
 
-        assertThrows(IllegalArgumentException.class, () -> fiarService.makeMove(gameId, "Alice", 3));
+        assertEquals(GameStatus.IN_PROGRESS, undoneGame.getStatus());
+        assertEquals(first, undoneGame.getCurrentPlayer());
+        assertEquals(0, undoneGame.getBoard()[2][0]);
+    }
+
+    @Test
+    void testMakeMove_AfterUndoBranchesFromRestoredVersion() {
+        Game game = fiarService.createNewGame("Alice", "Bob", 6, 7);
+        UUID gameId = game.getGameId();
+        String first = game.getCurrentPlayer();
+        String second = first.equals("Alice") ? "Bob" : "Alice";
+
+        Game firstMove = fiarService.makeMove(gameId, first, 0);
+        fiarService.makeMove(gameId, second, 1);
+        fiarService.undoMove(gameId);
+
+        Game branchedGame = fiarService.makeMove(gameId, second, 5);
+
+        assertSame(firstMove, branchedGame.getPrevious());
+        assertEquals(2, branchedGame.getMoveNumber());
+        assertEquals(0, branchedGame.getBoard()[5][1]);
+        assertEquals(firstMove.getBoard()[5][0], branchedGame.getBoard()[5][0]);
+        assertEquals(3, fiarService.getGameHistory(gameId).size());
+    }
+
+    @Test
+    void testMakeMove_SharesUntouchedColumns() {
+        Game game = fiarService.createNewGame("Alice", "Bob", 6, 7);
+        UUID gameId = game.getGameId();
+        String first = game.getCurrentPlayer();
+        String second = first.equals("Alice") ? "Bob" : "Alice";
+
+        Game previousGame = fiarService.makeMove(gameId, first, 0);
+        int[][] previousBoard = previousGame.getBoard();
+
+        Game nextGame = fiarService.makeMove(gameId, second, 4);
+
+        assertSame(previousGame, nextGame.getPrevious());
+        assertEquals(previousGame.getMoveNumber() + 1, nextGame.getMoveNumber());
+        assertArrayEquals(previousBoard, nextGame.getPrevious().getBoard());
+        int[][] nextBoard = nextGame.getBoard();
+        for (int r = 0; r < 6; r++) {
+            for (int c = 0; c < 7; c++) {
+                if (c != 4) {
+                    assertEquals(previousBoard[r][c], nextBoard[r][c]);
+                }
+            }
+        }
+        assertEquals(0, previousBoard[5][4]);
+        assertNotEquals(0, nextBoard[5][4]);
+    }
+
+    @Test
+    void testUndoMove_InvalidGameId() {
+        assertThrows(IllegalArgumentException.class, () -> fiarService.undoMove(null));
+        assertThrows(IllegalArgumentException.class, () -> fiarService.undoMove(UUID.randomUUID()));
+    }
+
+    @Test
+    void testGetGameHistory() {
+        Game game = fiarService.createNewGame("Alice", "Bob", 6, 7);
+        UUID gameId = game.getGameId();
+        String firstPlayer = game.getCurrentPlayer();
+        String secondPlayer = firstPlayer.equals("Alice") ? "Bob" : "Alice";
+
+        fiarService.makeMove(gameId, firstPlayer, 0);
+        Game lastGame = fiarService.makeMove(gameId, secondPlayer, 1);
+
+        List<Game> history = fiarService.getGameHistory(gameId);
+
+        assertEquals(3, history.size());
+        assertSame(game, history.get(0));
+        assertSame(lastGame, history.get(2));
+        for (int i = 0; i < history.size(); i++) {
+            assertEquals(i, history.get(i).getMoveNumber());
+        }
     }
 
     @Test
@@ -225,4 +375,22 @@ class FiarServiceTest {
         updatedGame = fiarService.getGame(gameId);
         assertEquals(firstPlayer, updatedGame.getCurrentPlayer());
     }
+
+    @Test
+    void testGetGameHistory_AfterUndo() {
+        Game game = fiarService.createNewGame("Alice", "Bob", 6, 7);
+        UUID gameId = game.getGameId();
+        String firstPlayer = game.getCurrentPlayer();
+        String secondPlayer = firstPlayer.equals("Alice") ? "Bob" : "Alice";
+
+        fiarService.makeMove(gameId, firstPlayer, 0);
+        fiarService.makeMove(gameId, secondPlayer, 1);
+        assertEquals(3, fiarService.getGameHistory(gameId).size());
+
+        fiarService.undoMove(gameId);
+
+        List<Game> history = fiarService.getGameHistory(gameId);
+        assertEquals(2, history.size());
+        assertSame(fiarService.getGame(gameId), history.get(1));
+    }
 }